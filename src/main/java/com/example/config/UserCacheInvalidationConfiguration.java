@@ -0,0 +1,20 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.cache.invalidation")
+@Getter @Setter
+public class UserCacheInvalidationConfiguration {
+
+    private boolean enabled = true;
+
+    private String channel = "users_invalidation";
+
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,28 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.compaction")
+@Getter @Setter
+public class UserCompactionConfiguration {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a soft-deleted user is kept before it is physically removed.
+     */
+    private Duration gracePeriod = Duration.ofMinutes(10);
+
+    private int batchSize = 500;
+
+    /**
+     * Pause between two batches, which bounds the share of database time the compactor takes.
+     */
+    private Duration batchPause = Duration.ofMillis(100);
+
+    private int maxBatchesPerRun = 100;
+}
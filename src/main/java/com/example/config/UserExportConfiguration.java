@@ -0,0 +1,21 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.export")
+@Getter @Setter
+public class UserExportConfiguration {
+
+    private String directory = System.getProperty("java.io.tmpdir") + "/user-exports";
+
+    private int rangeSize = 10_000;
+
+    /**
+     * How long a finished export and its file are kept before they are evicted.
+     */
+    private Duration retention = Duration.ofHours(24);
+}
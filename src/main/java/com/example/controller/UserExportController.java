@@ -0,0 +1,43 @@
+package com.example.controller;
+
+import com.example.model.ExportJob;
+import com.example.service.UserExportService;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.*;
+import io.micronaut.http.server.types.files.SystemFile;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+
+@Controller("/api/v1/users/exports")
+@RequiredArgsConstructor
+public class UserExportController {
+
+    private static final MediaType GZIP = MediaType.of("application/gzip");
+
+    @Inject
+    private UserExportService userExportService;
+
+    @Post
+    public ExportJob start() {
+        return userExportService.start();
+    }
+
+    @Get("/{id}")
+    public ExportJob getById(@PathVariable String id) {
+        return userExportService.getById(id);
+    }
+
+    @Get("/{id}/file")
+    public SystemFile download(@PathVariable String id) {
+        var file = userExportService.getFile(id);
+        if (file == null) {
+            return null;
+        }
+        return new SystemFile(file.toFile(), GZIP).attach("users-" + id + ".ndjson.gz");
+    }
+
+    @Delete("/{id}")
+    public ExportJob cancel(@PathVariable String id) {
+        return userExportService.cancel(id);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.controller;
+
+import com.example.repository.UserWireRepository;
+import io.micronaut.http.annotation.*;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import jakarta.inject.Inject;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Same list responses as {@link UserController}, rendered from the database row directly into the response buffer.
+ */
+@Controller("/api/v1/users/wire")
+@RequiredArgsConstructor
+public class UserWireController {
+
+    @Inject
+    private UserWireRepository userWireRepository;
+
+    @Get
+    public ByteBuf getAll() {
+        return userWireRepository.findAll(ByteBufAllocator.DEFAULT);
+    }
+
+    @Get("/name/{name}")
+    public ByteBuf getAllByName(@PathVariable String name) {
+        return userWireRepository.findByNameContains(ByteBufAllocator.DEFAULT, name);
+    }
+
+    @Get("/age/{age}")
+    public ByteBuf getAllByAge(@PathVariable Integer age) {
+        return userWireRepository.findByAge(ByteBufAllocator.DEFAULT, age);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Serdeable.Serializable
+@RequiredArgsConstructor
+@Getter
+@ToString
+public class ExportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final int totalRanges;
+    private final Instant startedAt;
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger completedRangeCount = new AtomicInteger();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong exportedUserCount = new AtomicLong();
+
+    public int getCompletedRanges() {
+        return completedRangeCount.get();
+    }
+
+    public long getExportedUsers() {
+        return exportedUserCount.get();
+    }
+
+    public double getProgress() {
+        return totalRanges == 0 ? 1.0 : (double) getCompletedRanges() / totalRanges;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public void rangeCompleted(int users) {
+        exportedUserCount.addAndGet(users);
+        completedRangeCount.incrementAndGet();
+    }
+
+    public synchronized boolean finish(Status status, String error) {
+        if (this.status != Status.RUNNING) {
+            return false;
+        }
+        this.status = status;
+        this.error = error;
+        this.finishedAt = Instant.now();
+        return true;
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.micronaut.serde.annotation.Serdeable;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        // The partial "idx_users_age" and "idx_users_deleted_at" come from "db/soft-delete-users.sql"
+        indexes = @Index(name = "idx_users_address_id", columnList = "address_id")
+)
 @Serdeable
-@NoArgsConstructor @AllArgsConstructor
+@NoArgsConstructor
 @Getter @Setter
 @EqualsAndHashCode
 @ToString
@@ -25,7 +32,19 @@ public class User {
     @EqualsAndHashCode.Exclude
     private Integer age;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = { CascadeType.PERSIST, CascadeType.MERGE })
     @JoinColumn(name = "address_id")
     private Address address;
+
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Instant deletedAt;
+
+    public User(Integer id, String name, Integer age, Address address) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.address = address;
+    }
 }
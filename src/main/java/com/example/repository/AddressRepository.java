@@ -0,0 +1,16 @@
+package com.example.repository;
+
+import com.example.model.Address;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+@Repository
+public interface AddressRepository extends CrudRepository<Address, Integer> {
+
+    @Query(value = "DELETE FROM addresses WHERE id IN (" +
+            "SELECT a.id FROM addresses a WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.address_id = a.id) " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteOrphans(int limit);
+}
@@ -0,0 +1,153 @@
+package com.example.repository;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes {@code users} rows as a JSON array straight into a {@link ByteBuf}.
+ * <p>
+ * The output matches what micronaut-serde produces for a {@code List<User>}:
+ * the same property order, and null or empty values left out.
+ */
+class UserJsonWriter {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final ByteBuf buf;
+    private boolean firstRow = true;
+    private boolean firstField;
+
+    UserJsonWriter(ByteBuf buf) {
+        this.buf = buf;
+        buf.writeByte('[');
+    }
+
+    /**
+     * Expects the columns: user id, name, age, address id, country, city, street, code.
+     */
+    void writeRow(ResultSet row) throws SQLException {
+
+        if (!firstRow) {
+            buf.writeByte(',');
+        }
+        firstRow = false;
+
+        beginObject();
+        writeInt("id", row.getInt(1), row.wasNull());
+        writeString("name", row.getString(2));
+        writeInt("age", row.getInt(3), row.wasNull());
+
+        var addressId = row.getInt(4);
+        if (!row.wasNull()) {
+            writeName("address");
+            beginObject();
+            writeInt("id", addressId, false);
+            writeString("country", row.getString(5));
+            writeString("city", row.getString(6));
+            writeString("street", row.getString(7));
+            writeInt("code", row.getInt(8), row.wasNull());
+            endObject();
+        }
+        endObject();
+    }
+
+    ByteBuf finish() {
+        buf.writeByte(']');
+        return buf;
+    }
+
+    private void beginObject() {
+        buf.writeByte('{');
+        firstField = true;
+    }
+
+    private void endObject() {
+        buf.writeByte('}');
+        firstField = false;
+    }
+
+    private void writeName(String name) {
+        if (!firstField) {
+            buf.writeByte(',');
+        }
+        firstField = false;
+        buf.writeByte('"');
+        buf.writeCharSequence(name, StandardCharsets.US_ASCII);
+        buf.writeByte('"');
+        buf.writeByte(':');
+    }
+
+    private void writeInt(String name, int value, boolean isNull) {
+        if (isNull) {
+            return;
+        }
+        writeName(name);
+        writeInt(value);
+    }
+
+    private void writeString(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        writeName(name);
+        buf.writeByte('"');
+        writeEscaped(value);
+        buf.writeByte('"');
+    }
+
+    private void writeEscaped(String value) {
+        var start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            if (i > start) {
+                ByteBufUtil.writeUtf8(buf, value, start, i);
+            }
+            start = i + 1;
+            buf.writeByte('\\');
+            switch (c) {
+                case '"', '\\' -> buf.writeByte(c);
+                case '\n' -> buf.writeByte('n');
+                case '\r' -> buf.writeByte('r');
+                case '\t' -> buf.writeByte('t');
+                case '\b' -> buf.writeByte('b');
+                case '\f' -> buf.writeByte('f');
+                default -> {
+                    buf.writeByte('u');
+                    buf.writeByte('0');
+                    buf.writeByte('0');
+                    buf.writeByte(HEX[c >> 4]);
+                    buf.writeByte(HEX[c & 0xF]);
+                }
+            }
+        }
+        if (start < value.length()) {
+            ByteBufUtil.writeUtf8(buf, value, start, value.length());
+        }
+    }
+
+    private void writeInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            buf.writeCharSequence("-2147483648", StandardCharsets.US_ASCII);
+            return;
+        }
+        if (value < 0) {
+            buf.writeByte('-');
+            value = -value;
+        }
+        var divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            buf.writeByte('0' + value / divisor % 10);
+            divisor /= 10;
+        }
+    }
+}
@@ -5,13 +5,45 @@ import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Integer> {
 
+    @Override
+    @Query("FROM User WHERE deletedAt IS NULL ORDER BY id")
+    List<User> findAll();
+
+    @Override
+    @Query("FROM User WHERE id = :id AND deletedAt IS NULL")
+    Optional<User> findById(Integer id);
+
+    @Override
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.id = :id AND u.deletedAt IS NULL")
+    boolean existsById(Integer id);
+
+    @Query("FROM User WHERE name LIKE CONCAT('%', :name, '%') AND deletedAt IS NULL ORDER BY id")
     List<User> findByNameContains(String name);
 
-    @Query("FROM User WHERE age = :age")
+    @Query("FROM User WHERE age = :age AND deletedAt IS NULL ORDER BY id")
     List<User> findByAge(Integer age);
+
+    @Query("FROM User WHERE id BETWEEN :from AND :to AND deletedAt IS NULL ORDER BY id")
+    List<User> findByIdBetween(Integer from, Integer to);
+
+    @Query("SELECT MIN(u.id) FROM User u")
+    Optional<Integer> findMinId();
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Optional<Integer> findMaxId();
+
+    @Query("UPDATE User SET deletedAt = CURRENT_TIMESTAMP WHERE id = :id AND deletedAt IS NULL")
+    void softDeleteById(Integer id);
+
+    @Query(value = "DELETE FROM users WHERE id IN (" +
+            "SELECT id FROM users WHERE deleted_at < :cutoff LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteTombstonedBefore(Instant cutoff, int limit);
 }
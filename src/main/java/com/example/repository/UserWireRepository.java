@@ -0,0 +1,74 @@
+package com.example.repository;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Read-only counterpart of {@link UserRepository} for the list queries that renders rows directly
+ * as a JSON array into a pooled {@link ByteBuf}, without materializing {@code User} entities.
+ * The returned buffer is handed to Netty, which releases it once it has been written to the socket.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class UserWireRepository {
+
+    private static final String SELECT = """
+            SELECT u.id, u.name, u.age, a.id, a.country, a.city, a.street, a.code
+            FROM users u
+            LEFT JOIN addresses a ON a.id = u.address_id
+            WHERE u.deleted_at IS NULL
+            """;
+
+    // Same order as the UserRepository finders, so both paths return identical arrays
+    private static final String ORDER_BY = " ORDER BY u.id";
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    @Inject
+    private DataSource dataSource;
+
+    public ByteBuf findAll(ByteBufAllocator allocator) {
+        return query(allocator, SELECT + ORDER_BY, statement -> { });
+    }
+
+    public ByteBuf findByNameContains(ByteBufAllocator allocator, String name) {
+        return query(allocator, SELECT + "AND u.name LIKE '%' || ? || '%'" + ORDER_BY, statement -> statement.setString(1, name));
+    }
+
+    public ByteBuf findByAge(ByteBufAllocator allocator, Integer age) {
+        return query(allocator, SELECT + "AND u.age = ?" + ORDER_BY, statement -> statement.setInt(1, age));
+    }
+
+    private ByteBuf query(ByteBufAllocator allocator, String sql, ParameterBinder binder) {
+        var buf = allocator.buffer(INITIAL_CAPACITY);
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            try (var resultSet = statement.executeQuery()) {
+                var writer = new UserJsonWriter(buf);
+                while (resultSet.next()) {
+                    writer.writeRow(resultSet);
+                }
+                return writer.finish();
+            }
+        } catch (SQLException e) {
+            buf.release();
+            throw new RuntimeException("Could not query users", e);
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
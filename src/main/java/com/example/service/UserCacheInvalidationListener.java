@@ -0,0 +1,121 @@
+package com.example.service;
+
+import com.example.config.UserCacheInvalidationConfiguration;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Evicts users changed on other instances from the local "users" cache.
+ * <p>
+ * Holds one connection from the pool in {@code LISTEN} mode on a background thread
+ * and reconnects after failures. While not listening, notifications are lost,
+ * so the whole cache is cleared each time listening (re)starts.
+ * <p>
+ * Invalidation is best-effort: a lookup that read the row before another instance committed its change
+ * can still put the old value into the cache after the notification has been handled.
+ * {@code micronaut.caches.users.expire-after-write} is the safety net that bounds how long such an entry lives.
+ */
+@Singleton
+@Requires(property = "users.cache.invalidation.enabled", notEquals = "false")
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationListener {
+
+    @Inject
+    private DataSource dataSource;
+
+    @Inject
+    private CacheManager<?> cacheManager;
+
+    @Inject
+    private UserCacheInvalidationConfiguration configuration;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("users-cache-invalidation")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(configuration.getPollTimeout().multipliedBy(2).toMillis());
+        }
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        try {
+            while (running) {
+                try (var connection = dataSource.getConnection()) {
+
+                    var pgConnection = connection.unwrap(PGConnection.class);
+                    try (var statement = connection.createStatement()) {
+                        statement.execute("LISTEN \"" + configuration.getChannel().replace("\"", "\"\"") + "\"");
+                    }
+
+                    cacheManager.getCache(UserService.CACHE_NAME).invalidateAll();
+                    listening = true;
+                    log.info("Listening for user cache invalidations on channel {}", configuration.getChannel());
+
+                    while (running) {
+                        var notifications = pgConnection.getNotifications((int) configuration.getPollTimeout().toMillis());
+                        if (notifications != null) {
+                            for (var notification : notifications) {
+                                evict(notification);
+                            }
+                        }
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    listening = false;
+                    if (running) {
+                        log.warn("User cache invalidation listener failed, reconnecting in {}", configuration.getReconnectDelay(), e);
+                        sleep();
+                    }
+                }
+            }
+        } finally {
+            listening = false;
+        }
+    }
+
+    private void evict(PGNotification notification) {
+        try {
+            cacheManager.getCache(UserService.CACHE_NAME).invalidate(Integer.valueOf(notification.getParameter()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid user cache invalidation: {}", notification.getParameter());
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(configuration.getReconnectDelay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.service;
+
+import com.example.config.UserCacheInvalidationConfiguration;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+/**
+ * Announces changed user ids to every instance through Postgres {@code NOTIFY}.
+ * <p>
+ * The notification is sent on the connection of the surrounding transaction,
+ * so Postgres delivers it only if, and right after, the write commits.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class UserCacheInvalidationPublisher {
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Inject
+    private UserCacheInvalidationConfiguration configuration;
+
+    @Transactional
+    public void publish(Integer id) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (var statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, configuration.getChannel());
+                statement.setString(2, id.toString());
+                statement.execute();
+            }
+        });
+    }
+}
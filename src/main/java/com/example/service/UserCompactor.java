@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.config.UserCompactionConfiguration;
+import com.example.repository.AddressRepository;
+import com.example.repository.UserRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Physically removes soft-deleted users and the addresses no user references any more.
+ * <p>
+ * Rows are deleted in small batches, each in its own transaction, with a pause in between,
+ * so the compactor never holds many row locks at once and does not compete with regular traffic.
+ * Every replica runs it; batches are picked with {@code FOR UPDATE SKIP LOCKED},
+ * so replicas split the pending rows between them instead of blocking on the same ones.
+ */
+@Singleton
+@Requires(property = "users.compaction.enabled", notEquals = "false")
+@RequiredArgsConstructor
+@Slf4j
+public class UserCompactor {
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private AddressRepository addressRepository;
+
+    @Inject
+    private UserCompactionConfiguration configuration;
+
+    @Scheduled(fixedDelay = "${users.compaction.interval:1m}", initialDelay = "${users.compaction.interval:1m}")
+    public void compact() {
+
+        var cutoff = Instant.now().minus(configuration.getGracePeriod());
+
+        var users = deleteInBatches(limit -> userRepository.deleteTombstonedBefore(cutoff, limit));
+        var addresses = deleteInBatches(addressRepository::deleteOrphans);
+
+        if (users > 0 || addresses > 0) {
+            log.info("Compacted {} deleted users and {} orphaned addresses", users, addresses);
+        }
+    }
+
+    private long deleteInBatches(IntUnaryOperator batch) {
+        var total = 0L;
+        for (int i = 0; i < configuration.getMaxBatchesPerRun(); i++) {
+            var deleted = batch.applyAsInt(configuration.getBatchSize());
+            total += deleted;
+            if (deleted < configuration.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(configuration.getBatchPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.service;
+
+import com.example.config.UserExportConfiguration;
+import com.example.model.ExportJob;
+import com.example.repository.UserRepository;
+import io.micronaut.scheduling.annotation.Scheduled;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports all users as gzipped NDJSON.
+ * <p>
+ * The id space is split into ranges of {@code users.export.range-size} ids, and every range is read
+ * on the "export" executor (a work-stealing pool whose parallelism is set by
+ * {@code micronaut.executors.export.parallelism}), so each range uses its own pooled connection.
+ * Ranges are written to separate gzip members which are then concatenated into a single valid gzip file.
+ * <p>
+ * Cancelling only marks the job; range tasks notice it and return early, and the files are removed once
+ * every task has returned. Finished jobs and their files are evicted after {@code users.export.retention}.
+ */
+@Singleton
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Inject
+    private UserExportConfiguration configuration;
+
+    @Inject
+    @Named("export")
+    private ExecutorService exportExecutor;
+
+    private final Map<String, RunningExport> exports = new ConcurrentHashMap<>();
+
+    public ExportJob start() {
+
+        var ranges = splitIdSpace();
+        var job = new ExportJob(UUID.randomUUID().toString(), ranges.size(), Instant.now());
+        var export = new RunningExport(job, Path.of(configuration.getDirectory(), job.getId()), new ArrayList<>());
+
+        try {
+            Files.createDirectories(export.partsDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create export directory " + export.partsDirectory(), e);
+        }
+
+        exports.put(job.getId(), export);
+
+        for (int i = 0; i < ranges.size(); i++) {
+            var range = ranges.get(i);
+            var part = export.partsDirectory().resolve("part-%06d.ndjson.gz".formatted(i));
+            export.tasks().add(CompletableFuture.runAsync(() -> exportRange(job, range, part), exportExecutor));
+        }
+
+        CompletableFuture.allOf(export.tasks().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> complete(export, error));
+
+        return job;
+    }
+
+    public ExportJob getById(String id) {
+        var export = exports.get(id);
+        return export != null ? export.job() : null;
+    }
+
+    public Path getFile(String id) {
+        var export = exports.get(id);
+        if (export == null || export.job().getStatus() != ExportJob.Status.COMPLETED) {
+            return null;
+        }
+        return export.file();
+    }
+
+    public ExportJob cancel(String id) {
+        var export = exports.remove(id);
+        if (export == null) {
+            return null;
+        }
+        // A running job is cleaned up by complete() once its last task has returned
+        if (!export.job().finish(ExportJob.Status.CANCELLED, null)) {
+            delete(export);
+        }
+        return export.job();
+    }
+
+    @Scheduled(fixedDelay = "${users.export.sweep-interval:10m}", initialDelay = "${users.export.sweep-interval:10m}")
+    public void evictExpired() {
+
+        var expiredBefore = Instant.now().minus(configuration.getRetention());
+
+        exports.values().removeIf(export -> {
+            var finishedAt = export.job().getFinishedAt();
+            if (export.job().isRunning() || finishedAt == null || finishedAt.isAfter(expiredBefore)) {
+                return false;
+            }
+            delete(export);
+            return true;
+        });
+
+        // Files left behind by a previous run of the application are not tracked in the map
+        try (Stream<Path> paths = Files.list(Path.of(configuration.getDirectory()))) {
+            for (var path : paths.toList()) {
+                var id = path.getFileName().toString().replace(".ndjson.gz", "");
+                if (!exports.containsKey(id) && Files.getLastModifiedTime(path).toInstant().isBefore(expiredBefore)) {
+                    deleteRecursively(path);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing has been exported yet
+        } catch (IOException e) {
+            log.warn("Could not evict expired exports from {}", configuration.getDirectory(), e);
+        }
+    }
+
+    private List<int[]> splitIdSpace() {
+
+        var minId = userRepository.findMinId();
+        var maxId = userRepository.findMaxId();
+        if (minId.isEmpty() || maxId.isEmpty()) {
+            return List.of();
+        }
+
+        var ranges = new ArrayList<int[]>();
+        for (long from = minId.get(); from <= maxId.get(); from += configuration.getRangeSize()) {
+            var to = Math.min(from + configuration.getRangeSize() - 1, maxId.get());
+            ranges.add(new int[] { (int) from, (int) to });
+        }
+        return ranges;
+    }
+
+    private void exportRange(ExportJob job, int[] range, Path part) {
+
+        if (!job.isRunning()) {
+            return;
+        }
+
+        var users = userRepository.findByIdBetween(range[0], range[1]);
+
+        if (!job.isRunning()) {
+            return;
+        }
+
+        try (var out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(part), BUFFER_SIZE), BUFFER_SIZE)) {
+            for (var user : users) {
+                if (!job.isRunning()) {
+                    return;
+                }
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        job.rangeCompleted(users.size());
+    }
+
+    private void complete(RunningExport export, Throwable error) {
+
+        var job = export.job();
+
+        if (!job.isRunning()) {
+            delete(export);
+            return;
+        }
+
+        if (error != null) {
+            log.error("Export {} failed", job.getId(), error);
+            job.finish(ExportJob.Status.FAILED, error.getMessage());
+            delete(export);
+            return;
+        }
+
+        try {
+            concatenateParts(export);
+        } catch (IOException e) {
+            log.error("Export {} failed to write {}", job.getId(), export.file(), e);
+            job.finish(ExportJob.Status.FAILED, e.getMessage());
+            delete(export);
+            return;
+        }
+
+        if (!job.finish(ExportJob.Status.COMPLETED, null)) {
+            delete(export);
+        }
+    }
+
+    private void concatenateParts(RunningExport export) throws IOException {
+
+        var parts = listParts(export);
+        if (parts.isEmpty()) {
+            // An empty file is not valid gzip, so an export without users is a single empty member
+            new GZIPOutputStream(Files.newOutputStream(export.file())).close();
+            deleteParts(export);
+            return;
+        }
+
+        try (var target = FileChannel.open(export.file(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (var part : parts) {
+                try (var source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    var size = source.size();
+                    var position = 0L;
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+        deleteParts(export);
+    }
+
+    private List<Path> listParts(RunningExport export) throws IOException {
+        try (Stream<Path> parts = Files.list(export.partsDirectory())) {
+            return parts.sorted().toList();
+        }
+    }
+
+    private void delete(RunningExport export) {
+        try {
+            Files.deleteIfExists(export.file());
+            deleteParts(export);
+        } catch (IOException e) {
+            log.warn("Could not delete files of export {}", export.job().getId(), e);
+        }
+    }
+
+    private void deleteParts(RunningExport export) throws IOException {
+        deleteRecursively(export.partsDirectory());
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private record RunningExport(ExportJob job, Path partsDirectory, List<CompletableFuture<Void>> tasks) {
+
+        Path file() {
+            return partsDirectory.resolveSibling(partsDirectory.getFileName() + ".ndjson.gz");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.service;
 
 import com.example.model.User;
 import com.example.repository.UserRepository;
+import io.micronaut.cache.annotation.CacheInvalidate;
+import io.micronaut.cache.annotation.Cacheable;
 import io.micronaut.transaction.annotation.Transactional;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -13,13 +15,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final String CACHE_NAME = "users";
+
     @Inject
     private UserRepository userRepository;
 
+    @Inject
+    private UserCacheInvalidationPublisher userCacheInvalidationPublisher;
+
     public List<User> getAll() {
         return userRepository.findAll();
     }
 
+    @Cacheable(CACHE_NAME)
     public User getById(Integer id) {
         return userRepository.findById(id)
                 .orElse(null);
@@ -38,15 +46,21 @@ public class UserService {
     }
 
     @Transactional
+    @CacheInvalidate(value = CACHE_NAME, parameters = "id")
     public User update(Integer id, User user) {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User with id " + id + " not found");
         }
         user.setId(id);
-        return userRepository.update(user);
+        var updated = userRepository.update(user);
+        userCacheInvalidationPublisher.publish(id);
+        return updated;
     }
 
+    @Transactional
+    @CacheInvalidate(value = CACHE_NAME, parameters = "id")
     public void delete(Integer id) {
-        userRepository.deleteById(id);
+        userRepository.softDeleteById(id);
+        userCacheInvalidationPublisher.publish(id);
     }
 }
@@ -0,0 +1,57 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Applies "db/soft-delete-users.sql" on startup, so the partial indexes the soft-delete finders rely on
+ * exist on every database, not only where the script was run by hand.
+ * <p>
+ * Hibernate cannot declare partial indexes, and the script is idempotent, so it runs on every start.
+ */
+@Singleton
+@Requires(property = "users.soft-delete-indexes.enabled", notEquals = "false")
+@RequiredArgsConstructor
+@Slf4j
+public class UserSoftDeleteIndexInitializer {
+
+    private static final String SCRIPT = "db/soft-delete-users.sql";
+
+    // Not used directly, but makes Hibernate create or update the "users" table before the script runs
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    private DataSource dataSource;
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute(readScript());
+            log.info("Applied {}", SCRIPT);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Could not apply " + SCRIPT, e);
+        }
+    }
+
+    private String readScript() throws IOException {
+        try (var stream = getClass().getClassLoader().getResourceAsStream(SCRIPT)) {
+            if (stream == null) {
+                throw new IOException(SCRIPT + " not found");
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+-- Converts the "users" table created by Hibernate into a table hash-partitioned by id.
+--
+-- Lookups by id ("findById", "existsById", "update") are pruned to a single partition,
+-- while vacuum, analyze and index rebuilds run per partition instead of over the whole table.
+-- The age access path ("findByAge") is served by the partitioned "idx_users_age" index.
+-- Expects the soft-delete layout from "soft-delete-users.sql" to be in place.
+--
+-- Postgres does not allow identity columns on partitioned tables before version 17,
+-- so the id is backed by a plain sequence, which Hibernate's IDENTITY strategy handles the same way.
+--
+-- Run once, in a maintenance window, against a database with the existing schema:
+--   psql -U postgres -d micronaut-1 -f partition-users-by-id-hash.sql
+
+BEGIN;
+
+LOCK TABLE users IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE users RENAME TO users_unpartitioned;
+ALTER TABLE users_unpartitioned RENAME CONSTRAINT users_pkey TO users_unpartitioned_pkey;
+
+-- Renaming the table keeps the name of the sequence behind its identity (or serial) id,
+-- so release "users_id_seq" before the partitioned table claims it
+ALTER TABLE users_unpartitioned ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users_unpartitioned ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+DROP INDEX IF EXISTS idx_users_age;
+DROP INDEX IF EXISTS idx_users_deleted_at;
+DROP INDEX IF EXISTS idx_users_address_id;
+
+CREATE SEQUENCE users_id_seq AS integer;
+
+CREATE TABLE users (
+    id         integer      NOT NULL DEFAULT nextval('users_id_seq'),
+    name       varchar(255) NOT NULL,
+    age        integer,
+    address_id integer REFERENCES addresses (id),
+    deleted_at timestamp(6) with time zone,
+    CONSTRAINT users_pkey PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+ALTER SEQUENCE users_id_seq OWNED BY users.id;
+
+DO $$
+DECLARE
+    partitions CONSTANT integer := 16;
+BEGIN
+    FOR remainder IN 0 .. partitions - 1 LOOP
+        EXECUTE format('CREATE TABLE users_p%s PARTITION OF users FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       remainder, partitions, remainder);
+    END LOOP;
+END
+$$;
+
+CREATE INDEX idx_users_age ON users (age) WHERE deleted_at IS NULL;
+CREATE INDEX idx_users_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX idx_users_address_id ON users (address_id);
+
+INSERT INTO users (id, name, age, address_id, deleted_at)
+SELECT id, name, age, address_id, deleted_at
+FROM users_unpartitioned;
+
+SELECT setval('users_id_seq', coalesce(max(id), 0) + 1, false) FROM users;
+
+DROP TABLE users_unpartitioned;
+
+COMMIT;
+
+ANALYZE users;
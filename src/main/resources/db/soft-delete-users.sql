@@ -0,0 +1,35 @@
+-- Prepares the "users" table for soft deletion.
+--
+-- Hibernate adds the "deleted_at" column on startup, but cannot declare partial indexes.
+-- Every finder filters on "deleted_at IS NULL", so the age index only needs to cover live rows,
+-- and the compactor looks up tombstones through a small index holding just the deleted rows.
+-- "idx_users_address_id" backs the orphaned address lookup of the compactor.
+--
+-- Applied on every startup by UserSoftDeleteIndexInitializer, so it must stay idempotent.
+-- It can also be run by hand, against a database with the existing schema:
+--   psql -U postgres -d micronaut-1 -f soft-delete-users.sql
+
+BEGIN;
+
+-- Replicas starting at the same time apply the script one after another
+SELECT pg_advisory_xact_lock(hashtext('soft-delete-users.sql'));
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at timestamp(6) with time zone;
+
+-- Replace a full "idx_users_age" left by earlier schema versions, but never rebuild the partial one
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_indexes
+                   WHERE schemaname = current_schema()
+                     AND indexname = 'idx_users_age'
+                     AND indexdef LIKE '%WHERE%') THEN
+        DROP INDEX IF EXISTS idx_users_age;
+        CREATE INDEX idx_users_age ON users (age) WHERE deleted_at IS NULL;
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_users_deleted_at ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_users_address_id ON users (address_id);
+
+COMMIT;
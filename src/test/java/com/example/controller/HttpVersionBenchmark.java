@@ -0,0 +1,118 @@
+package com.example.controller;
+
+import com.example.model.User;
+import com.example.service.UserService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares "GET /api/v1/users/{id}" throughput of the server in HTTP/1.1 mode and in HTTP/2 cleartext (h2c) mode,
+ * with a fixed number of concurrent clients issuing requests back to back.
+ * <p>
+ * "benchmark.event-loop-threads" sets the server's event-loop thread count, 0 being Netty's default.
+ * <p>
+ * Run with: ./mvnw test -Pbenchmark -Dtest=HttpVersionBenchmark -Dbenchmark.concurrency=256 -Dbenchmark.event-loop-threads=8
+ */
+class HttpVersionBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 20));
+    private static final int EVENT_LOOP_THREADS = Integer.getInteger("benchmark.event-loop-threads", 0);
+
+    @Test
+    void compareGetByIdThroughputOfHttp1AndH2c() throws Exception {
+
+        var http1 = run(HttpClient.Version.HTTP_1_1, "loadtest");
+        var h2c = run(HttpClient.Version.HTTP_2, "loadtest", "h2c");
+
+        System.out.printf("Concurrency: %d, event-loop threads: %d, duration: %s%n", CONCURRENCY, EVENT_LOOP_THREADS, DURATION);
+        print("HTTP/1.1", http1);
+        print("h2c", h2c);
+    }
+
+    private static Result run(HttpClient.Version version, String... environments) throws Exception {
+        var properties = Map.<String, Object>of("micronaut.netty.event-loops.default.num-threads", EVENT_LOOP_THREADS);
+        try (var server = ApplicationContext.run(EmbeddedServer.class, properties, environments);
+             var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder().version(version).executor(executor).build()) {
+
+            var id = server.getApplicationContext().getBean(UserService.class)
+                    .create(new User(null, "benchmark", 30, null))
+                    .getId();
+            var request = HttpRequest.newBuilder(server.getURI().resolve("/api/v1/users/" + id)).GET().build();
+
+            var warmupResponse = client.send(request, HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, warmupResponse.statusCode());
+            assertEquals(version, warmupResponse.version());
+
+            drive(client, request, executor, WARMUP);
+            return drive(client, request, executor, DURATION);
+        }
+    }
+
+    private static Result drive(HttpClient client, HttpRequest request,
+                                ExecutorService executor, Duration duration) throws Exception {
+
+        var recorder = new Recorder(3);
+        var errors = new AtomicLong();
+        var deadline = System.nanoTime() + duration.toNanos();
+        var workers = new ArrayList<Future<?>>();
+
+        var start = System.nanoTime();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    var requestStart = System.nanoTime();
+                    try {
+                        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - requestStart));
+                }
+            }));
+        }
+        for (var worker : workers) {
+            worker.get();
+        }
+        var elapsedNanos = System.nanoTime() - start;
+
+        var histogram = recorder.getIntervalHistogram();
+        return new Result(histogram.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                errors.get());
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("%s: %.1f req/s, p50 %.3f ms, p99 %.3f ms, errors %d%n",
+                label, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.loadtest;
+
+import com.example.model.Address;
+import com.example.model.User;
+import io.micronaut.serde.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the {@code /api/v1/users} endpoints.
+ * <p>
+ * Requests are started on a fixed schedule derived from the arrival rate, regardless of how many are still
+ * in flight, and every latency is measured from the request's scheduled start rather than from the moment
+ * it was actually sent, so a stalled server shows up in the percentiles instead of silently lowering the load.
+ */
+public class LoadGenerator {
+
+    private static final String BASE_PATH = "/api/v1/users";
+    private static final int DISTINCT_AGES = 100;
+    private static final int REQUEST_TIMEOUT_IN_P99_SLOS = 5;
+
+    private final URI baseUri;
+    private final LoadTestConfiguration configuration;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final List<Integer> seededIds = new ArrayList<>();
+    private final Queue<Integer> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger uniqueSuffix = new AtomicInteger();
+
+    public LoadGenerator(URI baseUri, LoadTestConfiguration configuration, ObjectMapper objectMapper, HttpClient client) {
+        this.baseUri = baseUri;
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+        this.client = client;
+        // A stalled request must end as an error rather than keep the run from ever finishing
+        this.requestTimeout = configuration.getSlo().getP99().multipliedBy(REQUEST_TIMEOUT_IN_P99_SLOS);
+
+        var mix = configuration.getMix();
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must define at least one operation weight");
+        }
+        this.operations = new Operation[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        var total = 0;
+        var i = 0;
+        for (var entry : mix.entrySet()) {
+            total += entry.getValue();
+            operations[i] = Operation.fromKey(entry.getKey());
+            cumulativeWeights[i] = total;
+            i++;
+        }
+    }
+
+    public void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < configuration.getSeedUsers(); i++) {
+            var response = client.send(request(Operation.CREATE), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            seededIds.add(objectMapper.readValue(response.body(), User.class).getId());
+        }
+    }
+
+    public LoadReport run(Duration duration) {
+
+        var recorders = new EnumMap<Operation, Recorder>(Operation.class);
+        for (var operation : operations) {
+            recorders.put(operation, new Recorder(3));
+        }
+        var successes = new AtomicLong();
+        var errors = new AtomicLong();
+        var inFlight = new ArrayList<CompletableFuture<?>>();
+
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / configuration.getArrivalRate();
+        var requests = duration.toNanos() / intervalNanos;
+        var start = System.nanoTime();
+
+        for (long i = 0; i < requests; i++) {
+
+            var scheduledStart = start + i * intervalNanos;
+            var delay = scheduledStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            var operation = nextOperation();
+            var recorder = recorders.get(operation);
+
+            inFlight.add(client.sendAsync(request(operation), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledStart));
+                        if (error != null || !isExpected(operation, response)) {
+                            errors.incrementAndGet();
+                            return;
+                        }
+                        if (operation == Operation.CREATE) {
+                            createdIds.offer(readId(response.body()));
+                        }
+                        successes.incrementAndGet();
+                    }));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+
+        var elapsedNanos = System.nanoTime() - start;
+
+        var histograms = new EnumMap<Operation, Histogram>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+
+        return new LoadReport(histograms, requests, successes.get(), errors.get(), elapsedNanos);
+    }
+
+    private Operation nextOperation() {
+        var value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation) {
+        var random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET_ALL -> get(BASE_PATH);
+            case GET_BY_ID -> get(BASE_PATH + "/" + randomSeededId());
+            case GET_BY_NAME -> get(BASE_PATH + "/name/" + URLEncoder.encode("user-" + random.nextInt(1_000), StandardCharsets.UTF_8));
+            case GET_BY_AGE -> get(BASE_PATH + "/age/" + random.nextInt(DISTINCT_AGES));
+            case CREATE -> builder(BASE_PATH)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(newUserJson()))
+                    .build();
+            case UPDATE -> builder(BASE_PATH + "/" + randomSeededId())
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(newUserJson()))
+                    .build();
+            case DELETE -> builder(BASE_PATH + "/" + nextDeletableId())
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(requestTimeout);
+    }
+
+    private byte[] newUserJson() {
+        var suffix = uniqueSuffix.incrementAndGet();
+        var address = new Address(null, "country", "city", "street", suffix);
+        var user = new User(null, "user-" + suffix, suffix % DISTINCT_AGES, address);
+        try {
+            return objectMapper.writeValueAsBytes(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private int nextDeletableId() {
+        var id = createdIds.poll();
+        // Deleting an id that was never created is still a valid request and keeps the mix stable
+        return id != null ? id : Integer.MAX_VALUE;
+    }
+
+    private int readId(String body) {
+        try {
+            return objectMapper.readValue(body, User.class).getId();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isExpected(Operation operation, HttpResponse<String> response) {
+        var status = response.statusCode();
+        return status == 200 || (status == 404 && operation == Operation.GET_BY_ID);
+    }
+
+    public record LoadReport(Map<Operation, Histogram> histograms, long requests, long successes, long errors, long elapsedNanos) {
+
+        public Histogram total() {
+            var total = new Histogram(3);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        /**
+         * Successful responses per second; failed requests do not count, so a failing server misses this SLO.
+         */
+        public double throughput() {
+            return successes * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        /**
+         * Share of scheduled requests that did not end in a successful response.
+         */
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) (requests - successes) / requests;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.loadtest;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("loadtest")
+@Getter @Setter
+public class LoadTestConfiguration {
+
+    /**
+     * Requests started per second, independently of how fast earlier requests complete (open model).
+     */
+    private int arrivalRate = 200;
+
+    private Duration warmup = Duration.ofSeconds(5);
+
+    private Duration duration = Duration.ofSeconds(30);
+
+    private int seedUsers = 1_000;
+
+    /**
+     * Relative weights of {@link Operation}s, keyed by the kebab-case operation name (e.g. "get-by-id").
+     */
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+
+    private Slo slo = new Slo();
+
+    @ConfigurationProperties("slo")
+    @Getter @Setter
+    public static class Slo {
+
+        private Duration p99 = Duration.ofMillis(250);
+
+        private double minThroughput = 190;
+
+        private double maxErrorRate = 0.001;
+    }
+}
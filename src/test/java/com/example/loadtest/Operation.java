@@ -0,0 +1,22 @@
+package com.example.loadtest;
+
+public enum Operation {
+
+    GET_ALL,
+    GET_BY_ID,
+    GET_BY_NAME,
+    GET_BY_AGE,
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    public static Operation fromKey(String key) {
+        var normalized = key.replace("-", "").replace("_", "");
+        for (var operation : values()) {
+            if (operation.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.loadtest;
+
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.serde.ObjectMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the embedded server with the traffic mix from "application-loadtest.properties"
+ * and fails when the configured SLOs are not met.
+ * <p>
+ * Run with: ./mvnw test -Pload-test -Dloadtest.arrival-rate=500 -Dloadtest.duration=60s
+ */
+@MicronautTest(environments = "loadtest", transactional = false)
+class UserLoadSimulation {
+
+    @Inject
+    EmbeddedServer server;
+
+    @Inject
+    LoadTestConfiguration configuration;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    void shouldMeetSlosUnderConfiguredTrafficMix() throws Exception {
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var client = HttpClient.newBuilder().executor(executor).build()) {
+
+            var generator = new LoadGenerator(server.getURI(), configuration, objectMapper, client);
+            generator.seed();
+
+            generator.run(configuration.getWarmup());
+            var report = generator.run(configuration.getDuration());
+
+            report.histograms().forEach((operation, histogram) -> {
+                System.out.printf("%n%s (%d requests), latency in ms:%n", operation, histogram.getTotalCount());
+                histogram.outputPercentileDistribution(System.out, 5, 1000.0);
+            });
+
+            var total = report.total();
+            var p99Millis = total.getValueAtPercentile(99) / 1000.0;
+            var slo = configuration.getSlo();
+
+            System.out.printf("%nRequests: %d, successful: %d, errors: %d, throughput: %.1f req/s, p50: %.3f ms, p99: %.3f ms, max: %.3f ms%n",
+                    report.requests(), report.successes(), report.errors(), report.throughput(),
+                    total.getValueAtPercentile(50) / 1000.0, p99Millis, total.getMaxValue() / 1000.0);
+
+            assertAll(
+                    () -> assertTrue(total.getValueAtPercentile(99) <= TimeUnit.MILLISECONDS.toMicros(slo.getP99().toMillis()),
+                            "p99 latency " + p99Millis + " ms exceeds SLO of " + slo.getP99().toMillis() + " ms"),
+                    () -> assertTrue(report.throughput() >= slo.getMinThroughput(),
+                            "Throughput " + report.throughput() + " req/s is below SLO of " + slo.getMinThroughput() + " req/s"),
+                    () -> assertTrue(report.errorRate() <= slo.getMaxErrorRate(),
+                            "Error rate " + report.errorRate() + " exceeds SLO of " + slo.getMaxErrorRate())
+            );
+        }
+    }
+}
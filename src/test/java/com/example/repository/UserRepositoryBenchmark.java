@@ -0,0 +1,154 @@
+package com.example.repository;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares "findById" and "findByAge" latencies on a large generated dataset
+ * before and after applying "db/partition-users-by-id-hash.sql".
+ * <p>
+ * Runs in the "benchmark" environment against the scratch database "micronaut-1-benchmark"
+ * ({@code createdb -U postgres micronaut-1-benchmark}), never against the application database:
+ * the migration cannot be undone, so the partitioned table is dropped again after the run.
+ * <p>
+ * Run with: ./mvnw test -Pbenchmark -Dtest=UserRepositoryBenchmark -Dbenchmark.rows=10000000
+ */
+@MicronautTest(environments = "benchmark", transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRepositoryBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int DISTINCT_AGES = 100;
+    private static final int ID_SAMPLES = Integer.getInteger("benchmark.id-samples", 5_000);
+    private static final int AGE_SAMPLES = Integer.getInteger("benchmark.age-samples", 50);
+
+    private static final String PARTITIONING_SCRIPT = "db/partition-users-by-id-hash.sql";
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @AfterAll
+    void dropPartitionedTable() throws SQLException {
+        execute("DROP TABLE IF EXISTS users CASCADE; DROP SEQUENCE IF EXISTS users_id_seq");
+    }
+
+    @Test
+    void compareLatenciesBeforeAndAfterPartitioning() throws Exception {
+
+        assertEquals("r", tableKind(), "Benchmark must start from the unpartitioned table");
+
+        generateUsers();
+
+        var idRange = idRange();
+
+        var findByIdBefore = measure(ID_SAMPLES, i -> assertNotNull(userRepository.findById(randomId(idRange)).orElse(null)));
+        var findByAgeBefore = measure(AGE_SAMPLES, i -> userRepository.findByAge(i % DISTINCT_AGES));
+
+        executeScript(PARTITIONING_SCRIPT);
+        assertEquals("p", tableKind());
+
+        var findByIdAfter = measure(ID_SAMPLES, i -> assertNotNull(userRepository.findById(randomId(idRange)).orElse(null)));
+        var findByAgeAfter = measure(AGE_SAMPLES, i -> userRepository.findByAge(i % DISTINCT_AGES));
+
+        System.out.printf("Rows: %d%n", ROWS);
+        print("findById  (unpartitioned)", findByIdBefore);
+        print("findById  (partitioned)", findByIdAfter);
+        print("findByAge (unpartitioned)", findByAgeBefore);
+        print("findByAge (partitioned)", findByAgeAfter);
+    }
+
+    private void generateUsers() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(
+                     "INSERT INTO users (name, age) " +
+                     "SELECT 'user ' || n, n % ? FROM generate_series(1, ?) AS n")) {
+            statement.setInt(1, DISTINCT_AGES);
+            statement.setInt(2, ROWS);
+            statement.executeUpdate();
+        }
+        execute("ANALYZE users");
+    }
+
+    private int[] idRange() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT min(id), max(id) FROM users")) {
+            resultSet.next();
+            return new int[] { resultSet.getInt(1), resultSet.getInt(2) };
+        }
+    }
+
+    private String tableKind() throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT relkind FROM pg_class WHERE relname = 'users'")) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private void executeScript(String resource) throws IOException, SQLException {
+        try (var stream = getClass().getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(stream, resource + " not found");
+            execute(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int randomId(int[] idRange) {
+        return ThreadLocalRandom.current().nextInt(idRange[0], idRange[1] + 1);
+    }
+
+    private static long[] measure(int samples, IntConsumer query) {
+
+        // Warm up the connection pool, the statement cache and the JIT before recording
+        for (int i = 0; i < Math.max(samples / 10, 1); i++) {
+            query.accept(i);
+        }
+
+        var latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            var start = System.nanoTime();
+            query.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void print(String label, long[] latencies) {
+        System.out.printf("%s: mean %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                label,
+                Arrays.stream(latencies).average().orElse(0) / 1_000_000,
+                percentile(latencies, 0.50) / 1_000_000,
+                percentile(latencies, 0.99) / 1_000_000,
+                latencies[latencies.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        var index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.repository;
+
+import com.example.service.UserService;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.serde.ObjectMapper;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JMH benchmark comparing the entity + micronaut-serde list path with {@link UserWireRepository}.
+ * <p>
+ * The JUnit test runs it with "-prof gc" and checks that the direct path allocates fewer bytes per response
+ * ("gc.alloc.rate.norm"). Every fork starts the application in the "benchmark" environment, generates
+ * the users into its scratch database and deletes them again on teardown.
+ * <p>
+ * Run with: ./mvnw test -Pbenchmark -Dtest=UserSerializationBenchmark -Dbenchmark.list-size=1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    private static final int AGE = 151;
+    private static final String COUNTRY = "benchmark";
+    private static final String ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    @Param("1000")
+    public int listSize;
+
+    private ApplicationContext context;
+    private UserService userService;
+    private UserWireRepository userWireRepository;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws SQLException {
+        context = ApplicationContext.run("benchmark");
+        userService = context.getBean(UserService.class);
+        userWireRepository = context.getBean(UserWireRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        deleteUsers();
+        generateUsers();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws SQLException {
+        try {
+            deleteUsers();
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] entityAndSerde() throws IOException {
+        return objectMapper.writeValueAsBytes(userService.getAllByAge(AGE));
+    }
+
+    @Benchmark
+    public int directToByteBuf() {
+        var buf = userWireRepository.findByAge(PooledByteBufAllocator.DEFAULT, AGE);
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void compareAllocationsOfListSerialization() throws RunnerException {
+
+        var options = new OptionsBuilder()
+                .include(UserSerializationBenchmark.class.getName() + "\\.")
+                .param("listSize", String.valueOf(Integer.getInteger("benchmark.list-size", 1_000)))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        var results = new Runner(options).run();
+
+        var entityPath = bytesPerOperation(results, "entityAndSerde");
+        var wirePath = bytesPerOperation(results, "directToByteBuf");
+        assertTrue(wirePath < entityPath,
+                "direct to ByteBuf allocated " + wirePath + " bytes/op, entity + serde " + entityPath + " bytes/op");
+    }
+
+    private static double bytesPerOperation(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .flatMap(result -> result.getSecondaryResults().entrySet().stream())
+                .filter(entry -> entry.getKey().endsWith(ALLOCATION_PER_OPERATION))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No " + ALLOCATION_PER_OPERATION + " result for " + benchmark));
+    }
+
+    private void generateUsers() throws SQLException {
+        try (var connection = context.getBean(DataSource.class).getConnection();
+             var addresses = connection.prepareStatement(
+                     "INSERT INTO addresses (country, city, street, code) " +
+                     "SELECT ?, 'city', 'street ' || n, n FROM generate_series(1, ?) AS n");
+             var users = connection.prepareStatement(
+                     "INSERT INTO users (name, age, address_id) " +
+                     "SELECT 'user ' || a.code, ?, a.id FROM addresses a WHERE a.country = ?")) {
+            addresses.setString(1, COUNTRY);
+            addresses.setInt(2, listSize);
+            addresses.executeUpdate();
+            users.setInt(1, AGE);
+            users.setString(2, COUNTRY);
+            users.executeUpdate();
+        }
+    }
+
+    private void deleteUsers() throws SQLException {
+        try (var connection = context.getBean(DataSource.class).getConnection();
+             var users = connection.prepareStatement("DELETE FROM users WHERE age = ?");
+             var addresses = connection.prepareStatement("DELETE FROM addresses WHERE country = ?")) {
+            users.setInt(1, AGE);
+            users.executeUpdate();
+            addresses.setString(1, COUNTRY);
+            addresses.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.repository;
+
+import com.example.model.Address;
+import com.example.model.User;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.transaction.TransactionOperations;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+@Property(name = "users.compaction.enabled", value = "false")
+class UserSoftDeleteTest {
+
+    private static final int AGE = 152;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    AddressRepository addressRepository;
+
+    @Inject
+    UserWireRepository userWireRepository;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    TransactionOperations<Session> transactionOperations;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> addressIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        // Plain JDBC, because the repository methods no longer see the tombstoned user
+        try (var connection = dataSource.getConnection()) {
+            deleteRows(connection, "users", userIds);
+            deleteRows(connection, "addresses", addressIds);
+        }
+    }
+
+    @Test
+    void shouldHideSoftDeletedUserAndCompactItWithItsAddress() throws SQLException {
+
+        var code = ThreadLocalRandom.current().nextInt(0, Integer.MAX_VALUE - 1);
+        var deleted = save(new User(null, "soft-delete-test deleted", AGE,
+                new Address(null, "soft-delete", "city", "street", code)));
+        var live = save(new User(null, "soft-delete-test live", AGE,
+                new Address(null, "soft-delete", "city", "street", code + 1)));
+        var deletedAddressId = deleted.getAddress().getId();
+        var liveAddressId = live.getAddress().getId();
+
+        userRepository.softDeleteById(deleted.getId());
+
+        try (var connection = dataSource.getConnection()) {
+            assertTrue(rowExists(connection, "users", deleted.getId()), "Soft delete must keep the row");
+        }
+
+        assertTrue(userRepository.findById(deleted.getId()).isEmpty());
+        assertFalse(userRepository.existsById(deleted.getId()));
+        assertTrue(userRepository.findAll().stream().noneMatch(user -> user.getId().equals(deleted.getId())));
+        assertEquals(List.of(live.getId()), ids(userRepository.findByNameContains("soft-delete-test")));
+        assertEquals(List.of(live.getId()), ids(userRepository.findByAge(AGE)));
+
+        assertTrue(userRepository.findById(live.getId()).isPresent());
+        assertTrue(userRepository.existsById(live.getId()));
+
+        assertWireSkipsDeleted(userWireRepository.findAll(UnpooledByteBufAllocator.DEFAULT));
+        assertWireSkipsDeleted(userWireRepository.findByNameContains(UnpooledByteBufAllocator.DEFAULT, "soft-delete-test"));
+        assertWireSkipsDeleted(userWireRepository.findByAge(UnpooledByteBufAllocator.DEFAULT, AGE));
+
+        // Compaction deletes every tombstone and orphan in the database, so it runs in a transaction
+        // that is rolled back, leaving rows that do not belong to this test untouched
+        transactionOperations.executeWrite(status -> {
+            status.setRollbackOnly();
+            return status.getConnection().doReturningWork(connection -> {
+
+                userRepository.deleteTombstonedBefore(Instant.now().minus(Duration.ofHours(1)), Integer.MAX_VALUE);
+                assertTrue(rowExists(connection, "users", deleted.getId()),
+                        "Tombstones younger than the cutoff must be kept");
+
+                assertTrue(userRepository.deleteTombstonedBefore(Instant.now().plus(Duration.ofMinutes(1)), Integer.MAX_VALUE) >= 1);
+                assertFalse(rowExists(connection, "users", deleted.getId()));
+                assertTrue(rowExists(connection, "users", live.getId()));
+
+                assertTrue(addressRepository.deleteOrphans(Integer.MAX_VALUE) >= 1);
+                assertFalse(rowExists(connection, "addresses", deletedAddressId));
+                assertTrue(rowExists(connection, "addresses", liveAddressId));
+                return null;
+            });
+        });
+    }
+
+    private User save(User user) {
+        var saved = userRepository.save(user);
+        userIds.add(saved.getId());
+        addressIds.add(saved.getAddress().getId());
+        return saved;
+    }
+
+    private static void assertWireSkipsDeleted(ByteBuf buf) {
+        try {
+            var json = buf.toString(StandardCharsets.UTF_8);
+            assertFalse(json.contains("soft-delete-test deleted"));
+            assertTrue(json.contains("soft-delete-test live"));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static List<Integer> ids(List<User> users) {
+        return users.stream().map(User::getId).toList();
+    }
+
+    private static boolean rowExists(Connection connection, String table, Integer id) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT 1 FROM " + table + " WHERE id = ?")) {
+            statement.setInt(1, id);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static void deleteRows(Connection connection, String table, List<Integer> ids) throws SQLException {
+        try (var statement = connection.prepareStatement("DELETE FROM " + table + " WHERE id = ?")) {
+            for (var id : ids) {
+                statement.setInt(1, id);
+                statement.executeUpdate();
+            }
+        }
+    }
+}
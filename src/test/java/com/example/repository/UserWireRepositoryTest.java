@@ -0,0 +1,96 @@
+package com.example.repository;
+
+import com.example.model.Address;
+import com.example.model.User;
+import io.micronaut.serde.ObjectMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MicronautTest(transactional = false)
+class UserWireRepositoryTest {
+
+    private static final int AGE = 150;
+
+    @Inject
+    UserWireRepository userWireRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    AddressRepository addressRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final List<Integer> addressIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll(userRepository.findByAge(AGE));
+        userRepository.deleteAll(userRepository.findByNameContains("wire-test"));
+        // Deleting a user no longer removes its address
+        addressIds.forEach(addressRepository::deleteById);
+    }
+
+    @Test
+    void shouldWriteSameJsonAsSerdeWhenGetAllByAge() throws IOException {
+
+        var users = userRepository.saveAll(List.of(
+                new User(null, "wire-test plain", AGE, null),
+                new User(null, "wire-test \"quoted\" \\ tab\t newline\n ünïcödé €", AGE, null),
+                new User(null, "wire-test control \u001f \u0001 chars", AGE, null),
+                new User(null, "wire-test with address", AGE, new Address(null, "country", "city", "street", 150))
+        ));
+        users.stream()
+                .map(User::getAddress)
+                .filter(Objects::nonNull)
+                .forEach(address -> addressIds.add(address.getId()));
+
+        var jsonExpected = objectMapper.writeValueAsString(userRepository.findByAge(AGE));
+
+        var json = asString(userWireRepository.findByAge(UnpooledByteBufAllocator.DEFAULT, AGE));
+
+        assertEquals(jsonExpected, json);
+        assertTrue(json.contains("control \\u001F \\u0001 chars"));
+    }
+
+    @Test
+    void shouldWriteSameJsonAsSerdeWhenGetAllByName() throws IOException {
+
+        userRepository.saveAll(List.of(
+                new User(null, "wire-test 1", null, null),
+                new User(null, "wire-test 2", 22, null)
+        ));
+
+        var jsonExpected = objectMapper.writeValueAsString(userRepository.findByNameContains("wire-test"));
+
+        assertEquals(jsonExpected, asString(userWireRepository.findByNameContains(UnpooledByteBufAllocator.DEFAULT, "wire-test")));
+    }
+
+    @Test
+    void shouldWriteEmptyArrayWhenNothingFound() {
+        assertEquals("[]", asString(userWireRepository.findByAge(UnpooledByteBufAllocator.DEFAULT, -1)));
+    }
+
+    private static String asString(ByteBuf buf) {
+        try {
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
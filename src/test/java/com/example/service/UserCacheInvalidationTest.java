@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.model.User;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.env.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two application instances in one JVM against the same database and checks that
+ * writes on one instance evict the user from the cache of the other.
+ */
+class UserCacheInvalidationTest {
+
+    private ApplicationContext first;
+    private ApplicationContext second;
+
+    @BeforeEach
+    void startInstances() {
+        first = ApplicationContext.run(Environment.TEST);
+        second = ApplicationContext.run(Environment.TEST);
+        await(() -> first.getBean(UserCacheInvalidationListener.class).isListening()
+                && second.getBean(UserCacheInvalidationListener.class).isListening());
+    }
+
+    @AfterEach
+    void stopInstances() {
+        second.close();
+        first.close();
+    }
+
+    @Test
+    void shouldEvictUserOnOtherInstanceWhenUpdateAndDelete() {
+
+        var firstService = first.getBean(UserService.class);
+        var secondService = second.getBean(UserService.class);
+        var secondCache = second.getBean(CacheManager.class).getCache(UserService.CACHE_NAME);
+
+        var id = firstService.create(new User(null, "cache test", 30, null)).getId();
+
+        assertEquals("cache test", secondService.getById(id).getName());
+        assertTrue(secondCache.get(id, User.class).isPresent());
+
+        firstService.update(id, new User(null, "cache test updated", 31, null));
+
+        await(() -> secondCache.get(id, User.class).isEmpty());
+        assertEquals("cache test updated", secondService.getById(id).getName());
+
+        firstService.delete(id);
+
+        await(() -> secondCache.get(id, User.class).isEmpty());
+        assertNull(secondService.getById(id));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
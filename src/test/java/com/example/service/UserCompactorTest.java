@@ -0,0 +1,73 @@
+package com.example.service;
+
+import com.example.repository.AddressRepository;
+import com.example.repository.UserRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@MicronautTest
+@Property(name = "users.compaction.interval", value = "1h")
+@Property(name = "users.compaction.grace-period", value = "10m")
+@Property(name = "users.compaction.batch-size", value = "2")
+@Property(name = "users.compaction.batch-pause", value = "1ms")
+@Property(name = "users.compaction.max-batches-per-run", value = "3")
+class UserCompactorTest {
+
+    @Inject
+    UserCompactor userCompactor;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    AddressRepository addressRepository;
+
+    @MockBean(UserRepository.class)
+    UserRepository userRepository() {
+        return mock(UserRepository.class);
+    }
+
+    @MockBean(AddressRepository.class)
+    AddressRepository addressRepository() {
+        return mock(AddressRepository.class);
+    }
+
+    @Test
+    void shouldDeleteInBatchesUntilBatchIsNotFull() {
+
+        when(userRepository.deleteTombstonedBefore(any(Instant.class), eq(2))).thenReturn(2, 1);
+        when(addressRepository.deleteOrphans(2)).thenReturn(0);
+
+        var before = Instant.now();
+        userCompactor.compact();
+
+        verify(userRepository, times(2)).deleteTombstonedBefore(argThat(cutoff ->
+                !cutoff.isAfter(Instant.now().minus(Duration.ofMinutes(10)))
+                        && !cutoff.isBefore(before.minus(Duration.ofMinutes(10)))), eq(2));
+        verify(addressRepository, times(1)).deleteOrphans(2);
+    }
+
+    @Test
+    void shouldStopAfterMaxBatchesPerRun() {
+
+        when(userRepository.deleteTombstonedBefore(any(Instant.class), anyInt())).thenReturn(2);
+        when(addressRepository.deleteOrphans(anyInt())).thenReturn(2);
+
+        var start = System.nanoTime();
+        userCompactor.compact();
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(4).toNanos());
+
+        verify(userRepository, times(3)).deleteTombstonedBefore(any(Instant.class), eq(2));
+        verify(addressRepository, times(3)).deleteOrphans(2);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.service;
+
+import com.example.config.UserExportConfiguration;
+import com.example.model.ExportJob;
+import com.example.model.User;
+import com.example.repository.UserRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@MicronautTest
+@Property(name = "users.export.range-size", value = "2")
+@Property(name = "users.export.retention", value = "0s")
+@Property(name = "users.export.sweep-interval", value = "1h")
+class UserExportServiceTest {
+
+    @Inject
+    UserExportService userExportService;
+
+    @Inject
+    UserExportConfiguration configuration;
+
+    @Inject
+    UserRepository userRepository;
+
+    @MockBean(UserRepository.class)
+    UserRepository userRepository() {
+        return mock(UserRepository.class);
+    }
+
+    @Test
+    void shouldExportAllRangesWhenStart() throws Exception {
+
+        when(userRepository.findMinId()).thenReturn(Optional.of(1));
+        when(userRepository.findMaxId()).thenReturn(Optional.of(5));
+        when(userRepository.findByIdBetween(1, 2)).thenReturn(List.of(
+                new User(1, "test 1", 11, null),
+                new User(2, "test 2", 22, null)
+        ));
+        when(userRepository.findByIdBetween(3, 4)).thenReturn(Collections.emptyList());
+        when(userRepository.findByIdBetween(5, 5)).thenReturn(List.of(
+                new User(5, "test 5", 55, null)
+        ));
+
+        var job = userExportService.start();
+        assertEquals(3, job.getTotalRanges());
+
+        awaitFinished(job);
+
+        assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getCompletedRanges());
+        assertEquals(3, job.getExportedUsers());
+
+        var file = userExportService.getFile(job.getId());
+        assertNotNull(file);
+
+        try (var in = new GZIPInputStream(Files.newInputStream(file))) {
+            var lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(0).contains("\"test 1\""));
+            assertTrue(lines.get(1).contains("\"test 2\""));
+            assertTrue(lines.get(2).contains("\"test 5\""));
+        }
+
+        userExportService.cancel(job.getId());
+        assertFalse(Files.exists(file));
+        assertNull(userExportService.getById(job.getId()));
+    }
+
+    @Test
+    void shouldCompleteEmptyExportWhenNoUsers() throws Exception {
+
+        when(userRepository.findMinId()).thenReturn(Optional.empty());
+        when(userRepository.findMaxId()).thenReturn(Optional.empty());
+
+        var job = userExportService.start();
+        awaitFinished(job);
+
+        assertEquals(ExportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(0, job.getTotalRanges());
+        assertEquals(1.0, job.getProgress());
+
+        verify(userRepository, never()).findByIdBetween(anyInt(), anyInt());
+
+        try (var in = new GZIPInputStream(Files.newInputStream(userExportService.getFile(job.getId())))) {
+            assertEquals(0, in.readAllBytes().length);
+        }
+
+        userExportService.cancel(job.getId());
+    }
+
+    @Test
+    void shouldDeleteFilesOnlyAfterRunningTasksReturnWhenCancel() throws Exception {
+
+        var queryStarted = new CountDownLatch(1);
+        var releaseQuery = new CountDownLatch(1);
+
+        when(userRepository.findMinId()).thenReturn(Optional.of(1));
+        when(userRepository.findMaxId()).thenReturn(Optional.of(2));
+        when(userRepository.findByIdBetween(1, 2)).thenAnswer(answer -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return List.of(new User(1, "test 1", 11, null));
+        });
+
+        var job = userExportService.start();
+        var partsDirectory = Path.of(configuration.getDirectory(), job.getId());
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+        userExportService.cancel(job.getId());
+        assertEquals(ExportJob.Status.CANCELLED, job.getStatus());
+        assertTrue(Files.exists(partsDirectory), "Files must stay until the running task has returned");
+
+        releaseQuery.countDown();
+
+        for (int i = 0; i < 100 && Files.exists(partsDirectory); i++) {
+            Thread.sleep(50);
+        }
+        assertFalse(Files.exists(partsDirectory));
+        assertFalse(Files.exists(partsDirectory.resolveSibling(job.getId() + ".ndjson.gz")));
+        assertEquals(0, job.getCompletedRanges());
+    }
+
+    @Test
+    void shouldEvictFinishedExportsWhenRetentionExpired() throws Exception {
+
+        when(userRepository.findMinId()).thenReturn(Optional.empty());
+        when(userRepository.findMaxId()).thenReturn(Optional.empty());
+
+        var job = userExportService.start();
+        awaitFinished(job);
+
+        var file = userExportService.getFile(job.getId());
+        assertNotNull(file);
+
+        Thread.sleep(10);
+        userExportService.evictExpired();
+
+        assertNull(userExportService.getById(job.getId()));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void shouldReturnNullWhenCancelUnknownJob() {
+        assertNull(userExportService.cancel("unknown"));
+        assertNull(userExportService.getById("unknown"));
+        assertNull(userExportService.getFile("unknown"));
+    }
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && job.isRunning(); i++) {
+            Thread.sleep(50);
+        }
+        assertFalse(job.isRunning(), "Export did not finish in time");
+    }
+}
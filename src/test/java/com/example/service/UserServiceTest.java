@@ -3,9 +3,12 @@ package com.example.service;
 import com.example.model.Address;
 import com.example.model.User;
 import com.example.repository.UserRepository;
+import io.micronaut.cache.CacheManager;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
@@ -16,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @MicronautTest
+@Property(name = "users.cache.invalidation.enabled", value = "false")
 class UserServiceTest {
 
     @Inject
@@ -29,6 +33,22 @@ class UserServiceTest {
         return mock(UserRepository.class);
     }
 
+    @Inject
+    UserCacheInvalidationPublisher userCacheInvalidationPublisher;
+
+    @MockBean(UserCacheInvalidationPublisher.class)
+    UserCacheInvalidationPublisher userCacheInvalidationPublisher() {
+        return mock(UserCacheInvalidationPublisher.class);
+    }
+
+    @Inject
+    CacheManager<?> cacheManager;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(UserService.CACHE_NAME).invalidateAll();
+    }
+
     @Test
     void shouldReturnListWhenGetAll() {
 
@@ -62,6 +82,22 @@ class UserServiceTest {
         verify(userRepository, times(1)).findById(id);
     }
 
+    @Test
+    void shouldReturnCachedUserWhenGetByIdTwice() {
+
+        var id = 1;
+
+        var user = new User(id, "test 1", 11, null);
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+
+        assertEquals(user, userService.getById(id));
+        assertEquals(user, userService.getById(id));
+
+        verify(userRepository, only()).findById(id);
+        verify(userRepository, times(1)).findById(id);
+    }
+
     @Test
     void shouldReturnNullWhenGetById() {
 
@@ -212,6 +248,23 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).existsById(id);
         verify(userRepository, times(1)).update(any(User.class));
+        verify(userCacheInvalidationPublisher, only()).publish(id);
+    }
+
+    @Test
+    void shouldEvictCachedUserWhenUpdate() {
+
+        var id = 1;
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(new User(id, "test 1", 11, null)));
+        when(userRepository.existsById(id)).thenReturn(true);
+        when(userRepository.update(any(User.class))).thenAnswer(answer -> answer.getArgument(0));
+
+        userService.getById(id);
+        userService.update(id, new User(null, "new user", 21, null));
+        userService.getById(id);
+
+        verify(userRepository, times(2)).findById(id);
     }
 
     @Test
@@ -229,13 +282,15 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).existsById(id);
         verify(userRepository, never()).update(any());
+        verify(userCacheInvalidationPublisher, never()).publish(any());
     }
 
     @Test
     void testDelete() {
         var id = 1;
         userService.delete(id);
-        verify(userRepository, only()).deleteById(id);
-        verify(userRepository, times(1)).deleteById(id);
+        verify(userRepository, only()).softDeleteById(id);
+        verify(userRepository, times(1)).softDeleteById(id);
+        verify(userCacheInvalidationPublisher, only()).publish(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.service;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+class UserSoftDeleteIndexInitializerTest {
+
+    @Inject
+    UserSoftDeleteIndexInitializer userSoftDeleteIndexInitializer;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void shouldCreatePartialIndexesOnStartup() throws SQLException {
+        assertTrue(indexDefinition("idx_users_age").endsWith("WHERE (deleted_at IS NULL)"));
+        assertTrue(indexDefinition("idx_users_deleted_at").endsWith("WHERE (deleted_at IS NOT NULL)"));
+    }
+
+    @Test
+    void shouldKeepPartialIndexWhenAppliedAgain() throws SQLException {
+
+        var before = indexOid("idx_users_age");
+
+        userSoftDeleteIndexInitializer.onStartup(null);
+
+        assertEquals(before, indexOid("idx_users_age"));
+    }
+
+    private String indexDefinition(String name) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(
+                     "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND indexname = ?")) {
+            statement.setString(1, name);
+            try (var resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next(), name + " does not exist");
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private long indexOid(String name) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("SELECT ?::regclass::oid")) {
+            statement.setString(1, name);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}